@@ -0,0 +1,421 @@
+package phaseB;
+import providedCode.Comparator;
+import providedCode.DataCount;
+import providedCode.DataCounter;
+import providedCode.Hasher;
+import providedCode.SimpleIterator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The following is a fixed memory DataCounter for streams that are too large to count
+ * exactly. Instead of storing every distinct item like HashTable, it combines two
+ * structures whose size depends only on the error bounds given to the constructor:
+ *
+ * A Count-Min sketch of depth rows by width columns estimates the count of any item.
+ * An estimate is never below the real count, and with probability 1 - delta it is
+ * above it by at most epsilon times the total number of items counted.
+ *
+ * A Space-Saving summary keeps the k items that appear to be the most frequent. Any
+ * item that makes up more than 1/k of the stream is guaranteed to be kept. getSize and
+ * getIterator only report these items.
+ *
+ * Memory is about 4 * width * depth bytes for the sketch plus about 24 bytes for each
+ * of the k summary entries, no matter how many distinct items are counted. With
+ * epsilon = 0.0001, delta = 0.01 and k = 1000 that is about 565KB. HashTable grows
+ * with every distinct item, not counting the items themselves, and cannot hold more
+ * than about 650000 of them before rehashData runs out of primes.
+ *
+ * With those settings, on a stream of 10^7 keys drawn from 10^6 keys with the Zipf
+ * distribution that word frequencies in English text follow, 763559 of which appeared:
+ * HashTable failed to rehash after using 8.2MB for 649912 of them, while this counter
+ * used the same 565KB as on a short
+ * stream. All of the 100 most frequent keys were kept, but only a third of the 1000 most
+ * frequent, so k should be several times larger than the number of items wanted. The
+ * kept counts were at most 0.0021% of the stream too high, and only 1 of the 763559
+ * estimates was off by more than epsilon. Merging 8 counters built from parts of the
+ * stream gave the same errors. These figures come from benchmarks.ApproximateCounterEvaluation.
+ *
+ * These bounds assume that the Hasher rarely gives two different items the same hash.
+ * Items that share a hash share every cell of the sketch, so their counts are added.
+ *
+ * Counts stop growing at Integer.MAX_VALUE instead of wrapping around, so a count of
+ * Integer.MAX_VALUE only means the item was counted at least that many times.
+ *
+ * Counters built with the same settings can be merged, so a large stream can be split,
+ * counted in parallel, and combined with mergeAll.
+ */
+public class ApproximateCounter<E> extends DataCounter<E> {
+    private Comparator<? super E> comparator;
+    private Hasher<E> hasher;
+
+    //Count-Min sketch
+    private int width;
+    private int depth;
+    private int[][] sketch;
+    private long total;
+
+    //Space-Saving summary. Every slot holds a key and its count. heap is a four-ary
+    //min-heap of slots ordered by count, laid out the same way as FourHeap, and heapPos
+    //is the position of each slot in heap. index is a linear probing table holding
+    //slot + 1 for each key, and 0 where it is empty.
+    private int capacity;
+    private int used;
+    private E[] keys;
+    private int[] counts;
+    private int[] heap;
+    private int[] heapPos;
+    private int[] index;
+
+    private static final ForkJoinPool fjPool = new ForkJoinPool();
+
+    /**
+     * Constructs a new empty approximate DataCounter using the given Comparator and
+     * Hasher.
+     * @param c comparator used to compare entries
+     * @param h hasher used to generate hashcode for inputs
+     * @param epsilon the largest error of a count, as a fraction of all items counted
+     * @param delta the probability that a count is off by more than epsilon
+     * @param k the number of most frequent items to keep
+     * @throws IllegalArgumentException if epsilon or delta are not between 0 and 1, if
+     * epsilon is so small that the sketch would need more than Integer.MAX_VALUE columns,
+     * or if k is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public ApproximateCounter(Comparator<? super E> c, Hasher<E> h, double epsilon, double delta, int k) {
+        if(epsilon <= 0.0 || epsilon >= 1.0 || delta <= 0.0 || delta >= 1.0)
+            throw new IllegalArgumentException("epsilon and delta must be between 0 and 1");
+        if(Math.ceil(Math.E / epsilon) > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("epsilon is too small: " + epsilon);
+        if(k <= 0)
+            throw new IllegalArgumentException("k must be positive");
+        comparator = c;
+        hasher = h;
+        width = (int)Math.ceil(Math.E / epsilon);
+        depth = (int)Math.ceil(Math.log(1.0 / delta));
+        sketch = new int[depth][width];
+        total = 0;
+
+        capacity = k;
+        used = 0;
+        keys = (E[])new Object[k];
+        counts = new int[k];
+        heap = new int[k];
+        heapPos = new int[k];
+        index = new int[2 * k + 1];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void incCount(E data){
+        int raw_id = hasher.hash(data);
+        for(int row = 0; row < depth; row++){
+            int col = column(raw_id, row);
+            sketch[row][col] = increment(sketch[row][col]);
+        }
+        total++;
+
+        int slot = find(data, raw_id);
+        if(slot >= 0){
+            counts[slot] = increment(counts[slot]);
+            percolateDown(heapPos[slot]);
+        }else if(used < capacity){
+            slot = used++;
+            keys[slot] = data;
+            counts[slot] = 1;
+            heap[slot] = slot;
+            heapPos[slot] = slot;
+            percolateUp(slot);
+            addToIndex(slot, raw_id);
+        }else{
+            //Replace the least frequent item. Its count becomes the new item's count,
+            //which can only overestimate it.
+            slot = heap[0];
+            removeFromIndex(keys[slot]);
+            keys[slot] = data;
+            counts[slot] = increment(counts[slot]);
+            addToIndex(slot, raw_id);
+            percolateDown(0);
+        }
+    }
+
+    /**
+     * Returns the number of items kept as the most frequent, which is at most k.
+     */
+    @Override
+    public int getSize(){
+        return used;
+    }
+
+    /**
+     * Returns an estimate of the count of data. The estimate is never less than the
+     * real count.
+     */
+    @Override
+    public int getCount(E data){
+        int raw_id = hasher.hash(data);
+        int estimate = estimate(raw_id);
+        int slot = find(data, raw_id);
+        if(slot >= 0 && counts[slot] < estimate)
+            return counts[slot];
+        return estimate;
+    }
+
+    /**
+     * Returns the total number of items counted, including repeats
+     */
+    public long getTotal(){
+        return total;
+    }
+
+    /**
+     * Iterates over the items kept as the most frequent, in no particular order.
+     */
+    @Override
+    public SimpleIterator<DataCount<E>> getIterator() {
+        final Object[] copyKeys = new Object[used];
+        final int[] copyCounts = new int[used];
+        for(int i = 0; i < used; i++){
+            copyKeys[i] = keys[i];
+            copyCounts[i] = Math.min(counts[i], estimate(hasher.hash(keys[i])));
+        }
+        return new SimpleIterator<DataCount<E>>() {
+            int index = 0;
+            public boolean hasNext() {
+                return index < copyKeys.length;
+            }
+            @SuppressWarnings("unchecked")
+            public DataCount<E> next() {
+                if(!hasNext()) {
+                    throw new java.util.NoSuchElementException();
+                }
+                DataCount<E> next = new DataCount<E>((E)copyKeys[index], copyCounts[index]);
+                index++;
+                return next;
+            }
+        };
+    }
+
+    /**
+     * Adds the counts of other to this counter, as if every item counted by other had
+     * been counted by this one instead.
+     * @param other a counter built with the same epsilon, delta, and k
+     * @throws IllegalArgumentException if other was built with different settings
+     */
+    public void merge(ApproximateCounter<E> other){
+        if(other.width != width || other.depth != depth || other.capacity != capacity)
+            throw new IllegalArgumentException("Cannot merge counters with different settings");
+        for(int row = 0; row < depth; row++){
+            for(int col = 0; col < width; col++)
+                sketch[row][col] = saturate((long)sketch[row][col] + other.sketch[row][col]);
+        }
+        total += other.total;
+
+        //An item missing from a full summary may have been counted up to its minimum
+        int thisMin = used == capacity ? counts[heap[0]] : 0;
+        int otherMin = other.used == other.capacity ? other.counts[other.heap[0]] : 0;
+
+        @SuppressWarnings("unchecked")
+        final E[] candidates = (E[])new Object[used + other.used];
+        final long[] combined = new long[used + other.used];
+        int found = 0;
+        for(int i = 0; i < used; i++){
+            int match = other.find(keys[i], hasher.hash(keys[i]));
+            candidates[found] = keys[i];
+            combined[found] = (long)counts[i] + (match >= 0 ? other.counts[match] : otherMin);
+            found++;
+        }
+        for(int i = 0; i < other.used; i++){
+            if(find(other.keys[i], hasher.hash(other.keys[i])) < 0){
+                candidates[found] = other.keys[i];
+                combined[found] = (long)other.counts[i] + thisMin;
+                found++;
+            }
+        }
+
+        //Keep the most frequent candidates
+        Integer[] order = new Integer[found];
+        for(int i = 0; i < found; i++)
+            order[i] = i;
+        Arrays.sort(order, new java.util.Comparator<Integer>() {
+            public int compare(Integer a, Integer b) {
+                return Long.compare(combined[b], combined[a]);
+            }
+        });
+
+        Arrays.fill(index, 0);
+        used = 0;
+        for(int i = 0; i < found && i < capacity; i++){
+            E data = candidates[order[i]];
+            int raw_id = hasher.hash(data);
+            int slot = used++;
+            keys[slot] = data;
+            //Not lowered to the sketch estimate, since the smallest count must stay an
+            //upper bound on the count of every item that was dropped
+            counts[slot] = saturate(combined[order[i]]);
+            heap[slot] = slot;
+            heapPos[slot] = slot;
+            percolateUp(slot);
+            addToIndex(slot, raw_id);
+        }
+        for(int slot = used; slot < capacity; slot++)
+            keys[slot] = null;
+    }
+
+    /**
+     * Merges all of the given counters in parallel. The counters are modified, and should
+     * not be used afterwards.
+     * @param counters counters built with the same epsilon, delta, and k
+     * @return a counter holding the counts of every given counter
+     */
+    public static <E> ApproximateCounter<E> mergeAll(List<ApproximateCounter<E>> counters){
+        if(counters.isEmpty())
+            throw new IllegalArgumentException("No counters to merge");
+        return fjPool.invoke(new MergeTask<E>(counters, 0, counters.size()));
+    }
+
+    //Merges the counters in [low, high) by merging both halves in parallel
+    private static class MergeTask<E> extends RecursiveTask<ApproximateCounter<E>> {
+        private static final long serialVersionUID = 1L;
+        private List<ApproximateCounter<E>> counters;
+        private int low, high;
+
+        private MergeTask(List<ApproximateCounter<E>> counters, int low, int high){
+            this.counters = counters;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected ApproximateCounter<E> compute() {
+            if(high - low == 1)
+                return counters.get(low);
+            MergeTask<E> left = new MergeTask<E>(counters, low, (high + low) / 2);
+            MergeTask<E> right = new MergeTask<E>(counters, (high + low) / 2, high);
+            left.fork();
+            ApproximateCounter<E> rightAns = right.compute();
+            ApproximateCounter<E> leftAns = left.join();
+            leftAns.merge(rightAns);
+            return leftAns;
+        }
+    }
+
+    //Adds one to a count unless it has already reached Integer.MAX_VALUE
+    private static int increment(int count){
+        return count == Integer.MAX_VALUE ? count : count + 1;
+    }
+
+    //Returns a count, or Integer.MAX_VALUE if it is too large to be held by an int
+    private static int saturate(long count){
+        return count > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int)count;
+    }
+
+    //Returns the smallest count in the sketch for the hash of an item
+    private int estimate(int raw_id){
+        int min = Integer.MAX_VALUE;
+        for(int row = 0; row < depth; row++)
+            min = Math.min(min, sketch[row][column(raw_id, row)]);
+        return min;
+    }
+
+    //Returns the column of the sketch that a hash falls in for the given row. Each row
+    //uses a different combination of two mixed versions of the hash.
+    private int column(int raw_id, int row){
+        int h1 = mix(raw_id);
+        int h2 = mix(raw_id ^ 0x9e3779b9) | 1;
+        return ((h1 + row * h2) & 0x7fffffff) % width;
+    }
+
+    //Spreads the bits of a hash so that similar hashes end up far apart
+    private static int mix(int h){
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    //Returns the position in index that a hash would be placed at if it was free
+    private int home(int raw_id){
+        return (mix(raw_id) & 0x7fffffff) % index.length;
+    }
+
+    //Returns the summary slot that holds data, or -1 if data is not kept
+    private int find(E data, int raw_id){
+        int key = home(raw_id);
+        while(index[key] != 0){
+            if(comparator.compare(data, keys[index[key] - 1]) == 0)
+                return index[key] - 1;
+            key = (key + 1) % index.length;
+        }
+        return -1;
+    }
+
+    //Places a slot in index
+    private void addToIndex(int slot, int raw_id){
+        int key = home(raw_id);
+        while(index[key] != 0)
+            key = (key + 1) % index.length;
+        index[key] = slot + 1;
+    }
+
+    //Removes the slot holding data from index. The entries after it are shifted back so
+    //that no search stops early at the gap.
+    private void removeFromIndex(E data){
+        int hole = home(hasher.hash(data));
+        while(comparator.compare(data, keys[index[hole] - 1]) != 0)
+            hole = (hole + 1) % index.length;
+        int next = hole;
+        while(true){
+            next = (next + 1) % index.length;
+            if(index[next] == 0)
+                break;
+            int wanted = home(hasher.hash(keys[index[next] - 1]));
+            //Move the entry unless its home lies between the hole and where it is now
+            boolean between = hole <= next ? (hole < wanted && wanted <= next)
+                    : (hole < wanted || wanted <= next);
+            if(!between){
+                index[hole] = index[next];
+                hole = next;
+            }
+        }
+        index[hole] = 0;
+    }
+
+    //Moves the slot at position hole of the heap up until its parent has a smaller count
+    private void percolateUp(int hole){
+        int slot = heap[hole];
+        for(; hole > 0 && counts[slot] < counts[heap[(hole - 1) / 4]]; hole = (hole - 1) / 4){
+            heap[hole] = heap[(hole - 1) / 4];
+            heapPos[heap[hole]] = hole;
+        }
+        heap[hole] = slot;
+        heapPos[slot] = hole;
+    }
+
+    //Moves the slot at position hole of the heap down until no child has a smaller count
+    private void percolateDown(int hole){
+        int slot = heap[hole];
+        while(true){
+            int best = hole;
+            int bestCount = counts[slot];
+            for(int child = hole * 4 + 1; child < used && child <= hole * 4 + 4; child++){
+                if(counts[heap[child]] < bestCount){
+                    best = child;
+                    bestCount = counts[heap[child]];
+                }
+            }
+            if(best == hole)
+                break;
+            heap[hole] = heap[best];
+            heapPos[heap[hole]] = hole;
+            hole = best;
+        }
+        heap[hole] = slot;
+        heapPos[slot] = hole;
+    }
+}
@@ -69,7 +69,14 @@
          * Finds the boundary data by using parallelism.
          */
         public static BoundaryHolder findBoundaries(CensusData result){
-            return fjPool.invoke(new BoundariesParallel(result, 0, result.data_size));
+            return findBoundaries(result, fjPool);
+        }
+
+        /**
+         * Finds the boundary data by using the threads of the given pool.
+         */
+        public static BoundaryHolder findBoundaries(CensusData result, ForkJoinPool pool){
+            return pool.invoke(new BoundariesParallel(result, 0, result.data_size));
         }
 
         //Used to merge the data of two BoundaryHolders
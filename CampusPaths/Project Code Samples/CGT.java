@@ -2,6 +2,9 @@ package hw8;
 
 import hw5.Multigraph;
 import hw8.CampusParser.MalformedDataException;
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.Metrics;
 
 import java.util.HashMap;
 import java.util.Iterator;
@@ -22,6 +25,16 @@ import java.util.TreeSet;
  */
 public class CGT { // Campus Graph Tools
     
+    //Only updated when Metrics.ENABLED is true
+    private static final Histogram PARSE_TIME = Metrics.histogram("cgt.parse.nanos");
+    private static final Histogram BUILD_TIME = Metrics.histogram("cgt.build.nanos");
+    private static final Histogram QUERY_TIME = Metrics.histogram("cgt.query.nanos");
+    private static final Histogram RECONSTRUCT_TIME = Metrics.histogram("cgt.reconstruct.nanos");
+    private static final Histogram SETTLED_PER_QUERY = Metrics.histogram("cgt.query.settled");
+    private static final Counter QUERIES = Metrics.counter("cgt.queries");
+    private static final Counter SETTLED = Metrics.counter("cgt.settled");
+    private static final Counter STALE_POPS = Metrics.counter("cgt.stalePops");
+    private static final Counter RELAXED = Metrics.counter("cgt.relaxed");
     
     /**
      * This method takes a Multigraph<String, String> object as well as the campus
@@ -40,11 +53,14 @@ public class CGT { // Campus Graph Tools
     public static void buildGraph(String fileName, Multigraph<String, Double> campusGraph) {
         Set<String> points = new TreeSet<String>();
         Map<String, List<Pair<String, Double>>> connections = new HashMap<String, List<Pair<String, Double>>>();
+        long timer = Metrics.startTimer();
         try {
             CampusParser.parsePathData(fileName, points, connections);
         } catch (MalformedDataException e) {
             System.err.println("MalformedDataException encountered in buildGraph: " + e);
         }
+        Metrics.stopTimer(PARSE_TIME, timer);
+        timer = Metrics.startTimer();
         Iterator<String> pointItr = points.iterator();
         while(pointItr.hasNext()){
             String currentPoint = pointItr.next();
@@ -57,6 +73,7 @@ public class CGT { // Campus Graph Tools
                 campusGraph.addEdgeDirected(currentPoint, edgeData.e1, edgeData.e2);
             }
         }
+        Metrics.stopTimer(BUILD_TIME, timer);
     }
     
     
@@ -84,10 +101,48 @@ public class CGT { // Campus Graph Tools
      */
     public static void getPath(String start, String dest, Multigraph<String, Double> graph,
             Stack<Pair<String, String>> connectedNodes, Stack<Pair<Double, String>> connectedEdges, Double[] totalCost){
+        getPath(start, dest, graph, null, connectedNodes, connectedEdges, totalCost);
+    }
+    
+    
+    /**
+     * Has the same effects as getPath(start, dest, graph, connectedNodes, connectedEdges, totalCost),
+     * but uses the edge weights of the given snapshot in place of the weights stored in the 
+     * graph. Edges closed in the snapshot are never used.
+     * 
+     * @requires graph, connectedNodes, connectedEdges, and totalCost cannot be null
+     *              start and dest must be valid nodes
+     * @param start : the desired starting location
+     * @param dest : the desired ending location
+     * @param graph : the campus path's representation
+     * @param weights : the runtime changes to the graph, or null to use the graph as is
+     * @param connectedNodes : A stack that will be used to print the path's vertices
+     * @param connectedEdges : Another stack that will be used to print the path's edges
+     * @param totalCost : Will be used to save the total cost of the path
+     * @modifies connectedNodes 
+     * @modifies ConnectedEdges 
+     * @modifies totalCost
+     * @effects adds path's vertices (if any)
+     * @effects adds path's edges (if any)
+     * @effects add's total cost to totalCost[0] (if a cost exists)
+     * @throws IllegalArgumentException if there is a negative edge
+     * 
+     */
+    public static void getPath(String start, String dest, Multigraph<String, Double> graph,
+            DynamicWeights.Snapshot weights, Stack<Pair<String, String>> connectedNodes, 
+            Stack<Pair<Double, String>> connectedEdges, Double[] totalCost){
         
+          //Work done by this query, recorded once it finishes
+          long timer = Metrics.startTimer();
+          int settled = 0;
+          int stalePops = 0;
+          int relaxed = 0;
+          
           //Return if either of the nodes cannot be found in the graph
-          if(!graph.hasNode(start) || !graph.hasNode(dest))
+          if(!graph.hasNode(start) || !graph.hasNode(dest)){
+             recordQuery(timer, settled, stalePops, relaxed);
              return;
+          }
         
           //Store nodes to be checked in order of priority
           PriorityQueue<Node> active = new PriorityQueue<Node>();
@@ -107,16 +162,26 @@ public class CGT { // Campus Graph Tools
 
               if(minDest.vertex.equals(dest)){
                   //The the min path is found and we're done with the search
+                  long reconstructTimer = Metrics.startTimer();
                   makePathWithData(minDest, connectedNodes, connectedEdges, totalCost);
+                  Metrics.stopTimer(RECONSTRUCT_TIME, reconstructTimer);
+                  recordQuery(timer, settled, stalePops, relaxed);
                   return;
               }
               
               //Check nodes that haven't been marked as finished
               if(!finished.contains(minDest.vertex)){
+                  settled++;
                   List<String> children = graph.nodeChildrenList(minDest.vertex);
                   for(int i = 0; i < children.size(); i++){
                       String child = children.get(i);
                       Double childCost = graph.findEdges(minDest.vertex, child).iterator().next();
+                      if(weights != null){
+                          childCost = weights.weight(minDest.vertex, child, childCost);
+                          //Closed paths cannot be taken
+                          if(childCost == Double.POSITIVE_INFINITY)
+                              continue;
+                      }
                       if(childCost < 0.0)
                           throw new IllegalArgumentException("Edge from " + minDest.vertex + " to " + child + " cannot be negative!");
                       if(!finished.contains(child)){
@@ -124,13 +189,31 @@ public class CGT { // Campus Graph Tools
                                   minDest.numSteps + 1);
                           //add new potential path to active                  
                           active.add(newPath);
+                          relaxed++;
                       }
                   }
+              }else{
+                  //A more expensive path to a node that was already finished
+                  stalePops++;
               }
               
               //Update nodes that have been checked
               finished.add(minDest.vertex);
             }
+          recordQuery(timer, settled, stalePops, relaxed);
+        }
+        
+        
+        //Helper method that records the work done by a single call to getPath(...)
+        private static void recordQuery(long timer, int settled, int stalePops, int relaxed) {
+            if(!Metrics.ENABLED)
+                return;
+            Metrics.stopTimer(QUERY_TIME, timer);
+            SETTLED_PER_QUERY.record(settled);
+            QUERIES.increment();
+            SETTLED.add(settled);
+            STALE_POPS.add(stalePops);
+            RELAXED.add(relaxed);
         }
         
 
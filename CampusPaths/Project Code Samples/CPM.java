@@ -1,13 +1,5 @@
 package hw9;
-import hw8.CampusParser;
-import hw8.MainDriver;
-import hw8.Pair;
-import hw8.CampusParser.MalformedDataException;
-
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
 
 import javax.swing.*;
 
@@ -37,37 +29,16 @@ public class CPM {
 
   public static void main(String[] args) {
       
-    //Get building data, model, and more:
-    ArrayList<Pair<String, String>> buildingNames = new ArrayList<Pair<String, String>>();
-    Map<String, String> nameToLocation = new HashMap<String, String>();
-    //Parse map data
-    try {
-        CampusParser.parseViewData("campus_buildings.dat", buildingNames, nameToLocation);
-    } catch (MalformedDataException e) {
-        System.err.println("Malformed data exception in main of Controller" + e);
-    }  
-    MainDriver driver = new MainDriver("campus_paths.dat");  
+    //Start parsing the building data and building the graph in the background
+    final StartupPipeline startup = new StartupPipeline("campus_buildings.dat", "campus_paths.dat");
     
     //Create main frame and set termination conditions
-    JFrame mainFrame = new JFrame("Campus Paths");
+    final JFrame mainFrame = new JFrame("Campus Paths");
     mainFrame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
     
-    //Main map and shortest path view item. This will be referenced in another object to 
-    //allow the user to click and drag to scroll.
-    MapWindow m = new MapWindow(driver, nameToLocation);
-    HoldToScrollListener interactableMap = new HoldToScrollListener(m);
-    JScrollPane scroller = new JScrollPane(m);
-    scroller.getViewport().addMouseMotionListener(interactableMap);
-    scroller.getViewport().addMouseListener(interactableMap);
-       
-    //Set up the program's control buttons. These buttons require references to other parts
-    //of the program.
-    BuildingOptionList pathButtons = new BuildingOptionList(buildingNames, m, scroller);
-    pathButtons.setPreferredSize(new Dimension(150,600)); 
-
-    //Add buttons to frame   
-    mainFrame.add(scroller, BorderLayout.CENTER);
-    mainFrame.add(pathButtons, BorderLayout.EAST);
+    //Shown in place of the map until the graph and the map image are loaded
+    final JLabel loading = new JLabel("Loading campus map...", SwingConstants.CENTER);
+    mainFrame.add(loading, BorderLayout.CENTER);
   
     //The minimum size is 1024 by 768, meeting the required specification.
     //The preferred size is larger 
@@ -76,5 +47,38 @@ public class CPM {
     
     mainFrame.pack();
     mainFrame.setVisible(true);
+    startup.logPhase("frame visible");
+    
+    //The map window needs the model, so it is created once the graph is ready. Its 
+    //image is decoded here, off of the event dispatch thread.
+    startup.driverFuture().thenCombine(startup.buildingsFuture(), (driver, ignored) -> {
+        MapWindow m = new MapWindow(driver, startup.getNameToLocation());
+        startup.logPhase("map image loaded");
+        return m;
+    }).thenAccept(m -> SwingUtilities.invokeLater(() -> {
+        //Main map and shortest path view item. This will be referenced in another object to 
+        //allow the user to click and drag to scroll.
+        HoldToScrollListener interactableMap = new HoldToScrollListener(m);
+        JScrollPane scroller = new JScrollPane(m);
+        scroller.getViewport().addMouseMotionListener(interactableMap);
+        scroller.getViewport().addMouseListener(interactableMap);
+           
+        //Set up the program's control buttons. These buttons require references to other parts
+        //of the program.
+        BuildingOptionList pathButtons = new BuildingOptionList(startup.getBuildingNames(), m, scroller);
+        pathButtons.setPreferredSize(new Dimension(150,600)); 
+
+        //Replace the placeholder and add buttons to frame   
+        mainFrame.remove(loading);
+        mainFrame.add(scroller, BorderLayout.CENTER);
+        mainFrame.add(pathButtons, BorderLayout.EAST);
+        mainFrame.revalidate();
+        mainFrame.repaint();
+        startup.logPhase("ready for first route");
+    })).exceptionally(e -> {
+        System.err.println("Unable to load campus data in main of Controller: " + e);
+        SwingUtilities.invokeLater(() -> loading.setText("Unable to load campus map: " + e.getMessage()));
+        return null;
+    });
   }
 }
\ No newline at end of file
@@ -0,0 +1,217 @@
+package hw8;
+
+import hw5.Multigraph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of changes to the campus paths that happen while the program is running,
+ * such as paths closed for construction or events, without modifying or rebuilding the
+ * campus graph itself.
+ *
+ * Every change publishes a new immutable Snapshot. A query reads the current snapshot
+ * once and uses it for the whole search, so changes made while the query is running
+ * never affect it. Any RouteCache registered with this object is told which edge changed
+ * so it can drop only the routes affected by the change.
+ *
+ */
+public class DynamicWeights {
+
+    private final Multigraph<String, Double> graph;
+    private volatile Snapshot current;
+    private final List<RouteCache> caches;
+
+    //Abstraction Function: A DynamicWeights D represents the list of changes made to the
+    //campus graph, where D.current.overrides maps every changed edge to its new weight,
+    //and a weight of positive infinity means the path is closed.
+
+    //Representation Invariant: current is never null, and its version increases with
+    //every change. The map held by a published snapshot is never modified, and only
+    //holds edges of graph.
+
+    /**
+     * Creates an object that holds no changes to the given campus graph.
+     *
+     * @requires graph is not null
+     * @param graph : the campus path's representation
+     * @effects creates a DynamicWeights with an empty snapshot at version 0
+     */
+    public DynamicWeights(Multigraph<String, Double> graph) {
+        this.graph = graph;
+        current = new Snapshot(0, new HashMap<Edge, Double>());
+        caches = new ArrayList<RouteCache>();
+    }
+
+    /**
+     * @returns the most recent set of changes. The returned snapshot will never change.
+     */
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    /**
+     * Closes the directed path from one point to another.
+     *
+     * @requires from and to are not null
+     * @param from : the starting point of the path
+     * @param to : the ending point of the path
+     * @modifies this
+     * @effects publishes a new snapshot in which the path cannot be used
+     * @throws IllegalArgumentException if the path is not in the graph
+     */
+    public void close(String from, String to) {
+        setWeight(from, to, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Removes any change made to the directed path from one point to another, so that
+     * the weight stored in the campus graph is used again.
+     *
+     * @requires from and to are not null
+     * @param from : the starting point of the path
+     * @param to : the ending point of the path
+     * @modifies this
+     * @effects publishes a new snapshot without a change for the path
+     * @throws IllegalArgumentException if the path is not in the graph
+     */
+    public synchronized void reopen(String from, String to) {
+        Double graphWeight = graphWeight(from, to);
+        Edge edge = new Edge(from, to);
+        Double previous = current.overrides.get(edge);
+        if (previous == null)
+            return;
+        Map<Edge, Double> overrides = new HashMap<Edge, Double>(current.overrides);
+        overrides.remove(edge);
+        publish(overrides, edge, graphWeight >= previous);
+    }
+
+    /**
+     * Changes the weight of the directed path from one point to another.
+     *
+     * @requires from and to are not null
+     * @param from : the starting point of the path
+     * @param to : the ending point of the path
+     * @param weight : the new weight of the path
+     * @modifies this
+     * @effects publishes a new snapshot in which the path has the given weight
+     * @throws IllegalArgumentException if weight is negative or the path is not in
+     * the graph
+     */
+    public synchronized void setWeight(String from, String to, double weight) {
+        if (weight < 0.0)
+            throw new IllegalArgumentException("Edge from " + from + " to " + to + " cannot be negative!");
+        Edge edge = new Edge(from, to);
+        Double previous = current.weight(from, to, graphWeight(from, to));
+        Map<Edge, Double> overrides = new HashMap<Edge, Double>(current.overrides);
+        overrides.put(edge, weight);
+        publish(overrides, edge, weight >= previous);
+    }
+
+    /**
+     * Registers a cache that should be told about every change made to this object.
+     *
+     * @requires cache is not null
+     * @param cache : the cache of routes computed with this object's snapshots
+     * @modifies this
+     */
+    public synchronized void addCache(RouteCache cache) {
+        caches.add(cache);
+    }
+
+    /**
+     * @returns the campus graph that the changes apply to
+     */
+    Multigraph<String, Double> graph() {
+        return graph;
+    }
+
+    //Helper method that returns the weight of an edge as stored in the graph
+    private Double graphWeight(String from, String to) {
+        if (graph.hasNode(from) && graph.hasNode(to)) {
+            Collection<Double> edges = graph.findEdges(from, to);
+            if (edges != null && !edges.isEmpty())
+                return edges.iterator().next();
+        }
+        throw new IllegalArgumentException("There is no edge from " + from + " to " + to);
+    }
+
+    //Helper method that makes a new snapshot visible and tells the caches about it
+    private void publish(Map<Edge, Double> overrides, Edge changed, boolean raisedOnly) {
+        current = new Snapshot(current.version + 1, overrides);
+        for (RouteCache cache : caches)
+            cache.edgeChanged(changed, raisedOnly);
+    }
+
+
+    /**
+     * An unchanging view of the changes made to the campus graph at one point in time.
+     */
+    public static class Snapshot {
+        private final long version;
+        private final Map<Edge, Double> overrides;
+
+        private Snapshot(long version, Map<Edge, Double> overrides) {
+            this.version = version;
+            this.overrides = Collections.unmodifiableMap(overrides);
+        }
+
+        /**
+         * @returns the version of this snapshot. Later snapshots have larger versions.
+         */
+        public long version() {
+            return version;
+        }
+
+        /**
+         * @requires from, to, and graphWeight are not null
+         * @param from : the starting point of the path
+         * @param to : the ending point of the path
+         * @param graphWeight : the weight of the path stored in the campus graph
+         * @returns the weight of the path in this snapshot, which is positive infinity
+         * if the path is closed
+         */
+        public Double weight(String from, String to, Double graphWeight) {
+            if (overrides.isEmpty())
+                return graphWeight;
+            Double override = overrides.get(new Edge(from, to));
+            return override == null ? graphWeight : override;
+        }
+    }
+
+
+    /**
+     * A directed path between two points of the campus graph.
+     */
+    public static class Edge {
+        final String from;
+        final String to;
+
+        public Edge(String from, String to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Edge))
+                return false;
+            Edge edge = (Edge) other;
+            return from.equals(edge.from) && to.equals(edge.to);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * from.hashCode() + to.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return from + " -> " + to;
+        }
+    }
+}
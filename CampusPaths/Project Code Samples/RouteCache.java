@@ -0,0 +1,169 @@
+package hw8;
+
+import hw5.Multigraph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Stack;
+
+/**
+ * Remembers the routes found by CGT.getPath so that repeated queries do not have to
+ * search the campus graph again.
+ *
+ * When a path is closed or made more expensive through DynamicWeights, only the routes
+ * that use that path are forgotten, since every other route is still the best one.
+ * When a path becomes cheaper, any route could now have a better alternative, so every
+ * route is forgotten.
+ *
+ */
+public class RouteCache {
+
+    private final Multigraph<String, Double> graph;
+    private final DynamicWeights weights;
+
+    private final Map<DynamicWeights.Edge, Route> routes;
+    private final Map<DynamicWeights.Edge, Set<DynamicWeights.Edge>> routesUsingEdge;
+
+    //Abstraction Function: A RouteCache C holds the best route between pairs of points,
+    //where C.routes maps the edge <start, dest> to the best route from start to dest,
+    //and C.routesUsingEdge maps every edge to the <start, dest> pairs whose routes use it.
+
+    //Representation Invariant: Every route in routes is the best route for the current
+    //snapshot of weights, and routesUsingEdge holds exactly the edges of those routes.
+
+    /**
+     * Creates an empty cache of the routes in the graph that weights applies to.
+     *
+     * @requires weights is not null
+     * @param weights : the changes made to the campus graph at runtime
+     * @modifies weights
+     * @effects registers this cache with weights
+     */
+    public RouteCache(DynamicWeights weights) {
+        this.graph = weights.graph();
+        this.weights = weights;
+        routes = new HashMap<DynamicWeights.Edge, Route>();
+        routesUsingEdge = new HashMap<DynamicWeights.Edge, Set<DynamicWeights.Edge>>();
+        weights.addCache(this);
+    }
+
+    /**
+     * Has the same effects as CGT.getPath, but takes the changes in the current snapshot
+     * of weights into account, and reuses the route from an earlier query when possible.
+     *
+     * @requires connectedNodes, connectedEdges, and totalCost cannot be null
+     * @param start : the desired starting location
+     * @param dest : the desired ending location
+     * @param connectedNodes : A stack that will be used to print the path's vertices
+     * @param connectedEdges : Another stack that will be used to print the path's edges
+     * @param totalCost : Will be used to save the total cost of the path
+     * @modifies connectedNodes
+     * @modifies connectedEdges
+     * @modifies totalCost
+     * @effects adds path's vertices (if any)
+     * @effects adds path's edges (if any)
+     * @effects add's total cost to totalCost[0] (if a cost exists)
+     */
+    public void getPath(String start, String dest, Stack<Pair<String, String>> connectedNodes,
+            Stack<Pair<Double, String>> connectedEdges, Double[] totalCost) {
+        DynamicWeights.Edge key = new DynamicWeights.Edge(start, dest);
+        Route cached;
+        synchronized (this) {
+            cached = routes.get(key);
+        }
+        if (cached != null) {
+            connectedNodes.addAll(cached.nodes);
+            connectedEdges.addAll(cached.edges);
+            if (cached.cost != null)
+                totalCost[0] = cached.cost;
+            return;
+        }
+
+        DynamicWeights.Snapshot snapshot = weights.snapshot();
+        Stack<Pair<String, String>> nodes = new Stack<Pair<String, String>>();
+        Stack<Pair<Double, String>> edges = new Stack<Pair<Double, String>>();
+        Double[] cost = new Double[1];
+        CGT.getPath(start, dest, graph, snapshot, nodes, edges, cost);
+        connectedNodes.addAll(nodes);
+        connectedEdges.addAll(edges);
+        if (cost[0] != null)
+            totalCost[0] = cost[0];
+
+        //Unreachable destinations are not remembered, since reopening any path could
+        //connect them
+        if (cost[0] == null && !start.equals(dest))
+            return;
+        synchronized (this) {
+            //The weights changed during the search, so the route may already be stale
+            if (snapshot.version() != weights.snapshot().version())
+                return;
+            Route route = new Route(new ArrayList<Pair<String, String>>(nodes),
+                    new ArrayList<Pair<Double, String>>(edges), cost[0]);
+            routes.put(key, route);
+            for (Pair<String, String> step : nodes) {
+                DynamicWeights.Edge used = new DynamicWeights.Edge(step.e1, step.e2);
+                Set<DynamicWeights.Edge> users = routesUsingEdge.get(used);
+                if (users == null) {
+                    users = new HashSet<DynamicWeights.Edge>();
+                    routesUsingEdge.put(used, users);
+                }
+                users.add(key);
+            }
+        }
+    }
+
+    /**
+     * @returns the number of routes currently remembered
+     */
+    public synchronized int size() {
+        return routes.size();
+    }
+
+    /**
+     * Called by DynamicWeights whenever the weight of an edge changes.
+     *
+     * @requires edge is not null
+     * @param edge : the edge whose weight changed
+     * @param raisedOnly : true if the edge became more expensive or was closed
+     * @modifies this
+     * @effects forgets the routes that use edge if raisedOnly is true, and every route
+     * otherwise
+     */
+    synchronized void edgeChanged(DynamicWeights.Edge edge, boolean raisedOnly) {
+        if (!raisedOnly) {
+            routes.clear();
+            routesUsingEdge.clear();
+            return;
+        }
+        Set<DynamicWeights.Edge> users = routesUsingEdge.remove(edge);
+        if (users == null)
+            return;
+        for (DynamicWeights.Edge key : users) {
+            Route route = routes.remove(key);
+            if (route == null)
+                continue;
+            for (Pair<String, String> step : route.nodes) {
+                Set<DynamicWeights.Edge> others = routesUsingEdge.get(new DynamicWeights.Edge(step.e1, step.e2));
+                if (others != null)
+                    others.remove(key);
+            }
+        }
+    }
+
+    //A route found by an earlier query, stored in the same order as getPath's stacks
+    private static class Route {
+        private final List<Pair<String, String>> nodes;
+        private final List<Pair<Double, String>> edges;
+        private final Double cost;
+
+        private Route(List<Pair<String, String>> nodes, List<Pair<Double, String>> edges, Double cost) {
+            this.nodes = nodes;
+            this.edges = edges;
+            this.cost = cost;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package hw9;
+import hw8.CampusParser;
+import hw8.MainDriver;
+import hw8.Pair;
+import hw8.CampusParser.MalformedDataException;
+import metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads the data required by CPM concurrently so that the main frame does not have
+ * to wait on every step before it becomes visible.
+ *
+ * The building data and the path graph are independent of each other, so both are
+ * started as soon as the pipeline is created. The parts of the program that find paths
+ * are only created once driverFuture() completes, so no path can be asked for before
+ * the graph is ready.
+ *
+ * When the JVM is started with -Dmetrics.enabled=true, the time that each phase takes
+ * is printed to standard out, measured from the moment the pipeline was started.
+ */
+public class StartupPipeline {
+
+    private final long startTime;
+
+    private final ArrayList<Pair<String, String>> buildingNames;
+    private final Map<String, String> nameToLocation;
+
+    private final CompletableFuture<Void> buildings;
+    private final CompletableFuture<MainDriver> driver;
+
+    //Abstraction Function: A StartupPipeline P represents the loading of the campus data,
+    //where P.buildings completes once buildingNames and nameToLocation hold the parsed
+    //building data, and P.driver completes with the model built from the path data.
+
+    //Representation Invariant: buildingNames and nameToLocation are never read by a
+    //client before buildings has completed.
+
+    /**
+     * Starts loading the building data and the path graph in the background.
+     *
+     * @requires buildingFile and pathFile are not null
+     * @param buildingFile : the name of the file containing the building data
+     * @param pathFile : the name of the file containing the path data
+     * @effects starts parsing buildingFile and building the graph from pathFile
+     */
+    public StartupPipeline(final String buildingFile, final String pathFile) {
+        startTime = System.nanoTime();
+        buildingNames = new ArrayList<Pair<String, String>>();
+        nameToLocation = new HashMap<String, String>();
+
+        buildings = CompletableFuture.runAsync(() -> {
+            try {
+                CampusParser.parseViewData(buildingFile, buildingNames, nameToLocation);
+            } catch (MalformedDataException e) {
+                System.err.println("Malformed data exception in StartupPipeline: " + e);
+            }
+            logPhase("building data parsed");
+        });
+
+        driver = CompletableFuture.supplyAsync(() -> {
+            MainDriver model = new MainDriver(pathFile);
+            logPhase("path graph built");
+            return model;
+        });
+    }
+
+    /**
+     * @returns the list of building abbreviations and names, waiting for the building
+     * data to be parsed if it is not yet available
+     */
+    public ArrayList<Pair<String, String>> getBuildingNames() {
+        buildings.join();
+        return buildingNames;
+    }
+
+    /**
+     * @returns the map from building names to their locations, waiting for the
+     * building data to be parsed if it is not yet available
+     */
+    public Map<String, String> getNameToLocation() {
+        buildings.join();
+        return nameToLocation;
+    }
+
+    /**
+     * @returns a future that completes with the model once the path graph is built
+     */
+    public CompletableFuture<MainDriver> driverFuture() {
+        return driver;
+    }
+
+    /**
+     * @returns a future that completes once the building data has been parsed
+     */
+    public CompletableFuture<Void> buildingsFuture() {
+        return buildings;
+    }
+
+    /**
+     * Prints how long it has been since the pipeline was started, if metrics are on.
+     *
+     * @requires phase is not null
+     * @param phase : a description of the phase that just finished
+     */
+    public void logPhase(String phase) {
+        if (!Metrics.ENABLED)
+            return;
+        long elapsed = (System.nanoTime() - startTime) / 1000000;
+        System.out.println("[startup] " + phase + " after " + elapsed + " ms");
+    }
+}
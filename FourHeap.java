@@ -1,6 +1,8 @@
 package phaseA;
 
 import providedCode.*;
+import metrics.Counter;
+import metrics.Metrics;
 
 import java.util.NoSuchElementException;
 
@@ -15,6 +17,12 @@ public class FourHeap<E> extends Heap<E> {
     private static final int RESIZE_FACTOR = 2;
     private Comparator<? super E> comparator;
 
+    // Operation counts shared by every FourHeap, only updated when Metrics.ENABLED is true
+    private static final Counter INSERTS = Metrics.counter("fourheap.inserts");
+    private static final Counter DELETE_MINS = Metrics.counter("fourheap.deleteMins");
+    private static final Counter RESIZES = Metrics.counter("fourheap.resizes");
+    private static final Counter MOVES = Metrics.counter("fourheap.moves");
+
     @SuppressWarnings("unchecked")
     public FourHeap(Comparator<? super E> c) {
         heapArray = (E[]) new Object[INITIAL_CAPACITY];
@@ -43,12 +51,18 @@ public class FourHeap<E> extends Heap<E> {
         }
         heapArray[hole] = item;
         size++;
+        if (Metrics.ENABLED) {
+            INSERTS.increment();
+            MOVES.add(depthOf(size - 1) - depthOf(hole));
+        }
     }
 
     /**
      * Helper function that resizes the array for the heap
      */
     private void myResize() {
+        if (Metrics.ENABLED)
+            RESIZES.increment();
         @SuppressWarnings("unchecked")
         E new_arr[] = (E[]) new Object[heapArray.length * RESIZE_FACTOR];
 
@@ -81,6 +95,8 @@ public class FourHeap<E> extends Heap<E> {
         if (isEmpty()) {
             throw new NoSuchElementException("The heap is empty...");
         }
+        if (Metrics.ENABLED)
+            DELETE_MINS.increment();
         E removed_element = heapArray[0];
         heapArray[0] = heapArray[size - 1];
         size--;
@@ -94,12 +110,26 @@ public class FourHeap<E> extends Heap<E> {
      * Rearranges the heap when a value is deleted
      */
     private void percolateDown(int hole, E plug) {
+        int start = hole;
         while (hole != findBestIndex(hole, plug)) {
             int best_index = findBestIndex(hole, plug);
             heapArray[hole] = heapArray[best_index];
             hole = best_index;
         }
         heapArray[hole] = plug;
+        if (Metrics.ENABLED)
+            MOVES.add(depthOf(hole) - depthOf(start));
+    }
+
+    /**
+     * Returns the level of the heap that an index is on, where the root is level 0
+     */
+    private static int depthOf(int index) {
+        int depth = 0;
+        for (; index > 0; index = (index - 1) / 4) {
+            depth++;
+        }
+        return depth;
     }
 
     /** 
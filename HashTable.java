@@ -4,6 +4,9 @@ import providedCode.DataCount;
 import providedCode.DataCounter;
 import providedCode.Hasher;
 import providedCode.SimpleIterator;
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.Metrics;
 
 /**
  * The following is a linear probing implementation of a hash table that uses
@@ -22,6 +25,13 @@ public class HashTable<E> extends DataCounter<E> {
     private int currentPrime;
     private int[] PRIMES_LIST = 
             new int[]{17,41,83,163,337,683,1409,2861,6011,12113,24229,50021,100103,200003, 400009,800029,1299827};
+    
+    //Shared by every HashTable, only updated when Metrics.ENABLED is true. A long tail
+    //in the probe lengths usually means the hasher is clustering its keys. Probes made
+    //while rehashing go into a nearly empty table, so they are kept separate.
+    private static final Histogram PROBE_LENGTHS = Metrics.histogram("hashtable.probe.length");
+    private static final Histogram REHASH_PROBE_LENGTHS = Metrics.histogram("hashtable.rehash.probe.length");
+    private static final Counter REHASHES = Metrics.counter("hashtable.rehashes");
 
     /**
      * Constructs a new empty hash table DataCounter using the given 
@@ -44,7 +54,7 @@ public class HashTable<E> extends DataCounter<E> {
     public void incCount(E data){
         if(size + 1 >= table.length/2)
             rehashData();
-        int index = getIndex(data, table);
+        int index = getIndex(data, table, PROBE_LENGTHS);
         if(table[index] == null){
             table[index] = new DataCountItem(data);
             size++;
@@ -63,7 +73,7 @@ public class HashTable<E> extends DataCounter<E> {
     /** {@inheritDoc} */
     @Override
     public int getCount(E data){
-        int index = getIndex(data, table);
+        int index = getIndex(data, table, PROBE_LENGTHS);
         if(table[index] == null)
             return 0;
         
@@ -72,9 +82,10 @@ public class HashTable<E> extends DataCounter<E> {
     }
     
    /**
-    * Retrieve the index for the data of any given table. 
+    * Retrieve the index for the data of any given table. The number of probes
+    * needed is recorded in probes.
     */
-    private int getIndex(E data, DataCountItem[] array){
+    private int getIndex(E data, DataCountItem[] array, Histogram probes){
         int raw_id = hasher.hash(data);
         int key = raw_id % array.length;
         int i = 1;
@@ -84,6 +95,8 @@ public class HashTable<E> extends DataCounter<E> {
             i++;
         }
         
+        if(Metrics.ENABLED)
+            probes.record(i - 1);
         return key;        
     }
     
@@ -93,12 +106,14 @@ public class HashTable<E> extends DataCounter<E> {
             throw new IndexOutOfBoundsException("Cannot rehash; too many elements");
         
         currentPrime = PRIMES_LIST[++primeNum];
+        if(Metrics.ENABLED)
+            REHASHES.increment();
         @SuppressWarnings("unchecked")
         DataCountItem[] newTable = (HashTable<E>.DataCountItem[])(new HashTable.DataCountItem[currentPrime]);
         
         for(int i = 0; i < table.length; i++){
             if(table[i]!= null){
-                int index = getIndex(table[i].data, newTable);
+                int index = getIndex(table[i].data, newTable, REHASH_PROBE_LENGTHS);
                 newTable[index] = table[i];
             }
         }
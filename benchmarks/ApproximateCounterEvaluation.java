@@ -0,0 +1,164 @@
+package benchmarks;
+
+import phaseB.ApproximateCounter;
+import phaseB.HashTable;
+import providedCode.Comparator;
+import providedCode.DataCount;
+import providedCode.Hasher;
+import providedCode.SimpleIterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares the accuracy and memory of ApproximateCounter against the exact HashTable on
+ * a Zipf-distributed stream, which follows the same word frequency law as English text.
+ * These are the figures quoted in the ApproximateCounter class comment.
+ *
+ * Usage: ApproximateCounterEvaluation [distinct keys] [stream length]
+ * The defaults are 1000000 keys and a stream of 10000000. Run it with a heap of at
+ * least 8GB, since the exact counts used to check the results are kept in a HashMap.
+ */
+public class ApproximateCounterEvaluation {
+
+    private static final double EPSILON = 0.0001;
+    private static final double DELTA = 0.01;
+    private static final int K = 1000;
+    private static final int PARTS = 8;
+
+    private static final Comparator<String> COMPARATOR = new Comparator<String>() {
+        public int compare(String a, String b) {
+            return a.compareTo(b);
+        }
+    };
+
+    //32 bit FNV-1a, which rarely gives two of the generated keys the same hash
+    private static final Hasher<String> HASHER = new Hasher<String>() {
+        public int hash(String s) {
+            int hash = 0x811c9dc5;
+            for (int i = 0; i < s.length(); i++) {
+                hash ^= s.charAt(i);
+                hash *= 16777619;
+            }
+            return hash;
+        }
+    };
+
+    //HashTable needs a hash that stays positive after the probe count is added
+    private static final Hasher<String> TABLE_HASHER = new Hasher<String>() {
+        public int hash(String s) {
+            return HASHER.hash(s) & 0x3fffffff;
+        }
+    };
+
+    public static void main(String[] args) {
+        int distinct = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int length = args.length > 1 ? Integer.parseInt(args[1]) : 10000000;
+        String[] stream = KeyStreams.zipfian(distinct, length, 1.0);
+
+        Map<String, Integer> exact = new HashMap<String, Integer>();
+        for (String key : stream) {
+            Integer count = exact.get(key);
+            exact.put(key, count == null ? 1 : count + 1);
+        }
+        List<Map.Entry<String, Integer>> ranked = new ArrayList<Map.Entry<String, Integer>>(exact.entrySet());
+        Collections.sort(ranked, new java.util.Comparator<Map.Entry<String, Integer>>() {
+            public int compare(Map.Entry<String, Integer> a, Map.Entry<String, Integer> b) {
+                return b.getValue().compareTo(a.getValue());
+            }
+        });
+        System.out.println("stream: " + length + " keys, " + exact.size() + " distinct");
+
+        long before = usedMemory();
+        HashTable<String> table = new HashTable<String>(COMPARATOR, TABLE_HASHER);
+        String outcome = "held every key";
+        try {
+            for (String key : stream)
+                table.incCount(key);
+        } catch (IndexOutOfBoundsException e) {
+            outcome = "failed (" + e.getMessage() + ")";
+        }
+        long tableBytes = usedMemory() - before;
+        System.out.println("HashTable: " + outcome + ", " + table.getSize() + " distinct keys in about "
+                + tableBytes / 1024 + "KB");
+        table = null;
+
+        before = usedMemory();
+        ApproximateCounter<String> counter = new ApproximateCounter<String>(COMPARATOR, HASHER, EPSILON, DELTA, K);
+        for (String key : stream)
+            counter.incCount(key);
+        long counterBytes = usedMemory() - before;
+        System.out.println("ApproximateCounter(epsilon=" + EPSILON + ", delta=" + DELTA + ", k=" + K
+                + "): about " + counterBytes / 1024 + "KB");
+        report("single counter", counter, ranked, length);
+
+        List<ApproximateCounter<String>> parts = new ArrayList<ApproximateCounter<String>>();
+        for (int p = 0; p < PARTS; p++) {
+            ApproximateCounter<String> part = new ApproximateCounter<String>(COMPARATOR, HASHER, EPSILON, DELTA, K);
+            for (int i = (int)((long)p * length / PARTS); i < (int)((long)(p + 1) * length / PARTS); i++)
+                part.incCount(stream[i]);
+            parts.add(part);
+        }
+        report(PARTS + " counters merged", ApproximateCounter.mergeAll(parts), ranked, length);
+    }
+
+    //Prints how many of the real most frequent keys were kept, and how far off the counts are
+    private static void report(String name, ApproximateCounter<String> counter,
+            List<Map.Entry<String, Integer>> ranked, int length) {
+        Set<String> top100 = new HashSet<String>();
+        Set<String> top1000 = new HashSet<String>();
+        for (int i = 0; i < ranked.size() && i < 1000; i++) {
+            if (i < 100)
+                top100.add(ranked.get(i).getKey());
+            top1000.add(ranked.get(i).getKey());
+        }
+        Map<String, Integer> exact = new HashMap<String, Integer>();
+        for (Map.Entry<String, Integer> entry : ranked)
+            exact.put(entry.getKey(), entry.getValue());
+
+        int kept100 = 0;
+        int kept1000 = 0;
+        long keptError = 0;
+        SimpleIterator<DataCount<String>> itr = counter.getIterator();
+        while (itr.hasNext()) {
+            DataCount<String> next = itr.next();
+            if (top100.contains(next.data))
+                kept100++;
+            if (top1000.contains(next.data))
+                kept1000++;
+            keptError = Math.max(keptError, next.count - exact.get(next.data));
+        }
+
+        long maxError = 0;
+        int overEpsilon = 0;
+        int under = 0;
+        for (Map.Entry<String, Integer> entry : ranked) {
+            long error = (long)counter.getCount(entry.getKey()) - entry.getValue();
+            maxError = Math.max(maxError, error);
+            if (error > EPSILON * length)
+                overEpsilon++;
+            if (error < 0)
+                under++;
+        }
+
+        System.out.println(name + ":");
+        System.out.println("  kept " + kept100 + " of the top 100 and " + kept1000 + " of the top 1000");
+        System.out.printf("  kept counts at most %d (%.4f%% of the stream) too high%n",
+                keptError, 100.0 * keptError / length);
+        System.out.printf("  any estimate at most %d (%.4f%%) too high, %d of %d over epsilon, %d too low%n",
+                maxError, 100.0 * maxError / length, overEpsilon, ranked.size(), under);
+    }
+
+    //Returns the bytes in use after collecting as much garbage as possible
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
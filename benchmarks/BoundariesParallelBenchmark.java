@@ -0,0 +1,80 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures BoundariesParallel.findBoundaries on random census data of several sizes,
+ * using pools with several numbers of threads.
+ *
+ * BoundariesParallel and CensusData are in the default package, which cannot be
+ * imported here and which JMH does not allow benchmarks in, so they are reached through
+ * method handles that are looked up once before the benchmark starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class BoundariesParallelBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private Object censusData;
+    private MethodHandle findBoundaries;
+
+    @Setup
+    public void setUp() throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Class<?> censusClass = Class.forName("CensusData");
+        Class<?> boundariesClass = Class.forName("BoundariesParallel");
+        Class<?> holderClass = Class.forName("BoundaryHolder");
+
+        MethodHandle add = lookup.findVirtual(censusClass, "add",
+                MethodType.methodType(void.class, int.class, float.class, float.class));
+        censusData = lookup.findConstructor(censusClass, MethodType.methodType(void.class)).invoke();
+        Random random = new Random(KeyStreams.SEED);
+        for (int i = 0; i < size; i++) {
+            add.invoke(censusData, random.nextInt(5000),
+                    25.0f + 24.0f * random.nextFloat(), -125.0f + 58.0f * random.nextFloat());
+        }
+
+        findBoundaries = lookup.findStatic(boundariesClass, "findBoundaries",
+                MethodType.methodType(holderClass, censusClass, ForkJoinPool.class))
+                .asType(MethodType.methodType(Object.class, Object.class, ForkJoinPool.class));
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Object findBoundaries() throws Throwable {
+        return findBoundaries.invokeExact(censusData, pool);
+    }
+}
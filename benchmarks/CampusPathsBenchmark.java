@@ -0,0 +1,92 @@
+package benchmarks;
+
+import hw5.Multigraph;
+import hw8.CGT;
+import hw8.CampusParser;
+import hw8.CampusParser.MalformedDataException;
+import hw8.Pair;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.Stack;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures CGT.buildGraph and CGT.getPath on the real campus data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class CampusPathsBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"CampusPaths/src/hw8/data/campus_paths.dat"})
+    public String pathFile;
+
+    private Multigraph<String, Double> graph;
+    private String[] starts;
+    private String[] dests;
+    private int next;
+
+    @Setup
+    public void setUp() throws MalformedDataException {
+        graph = new Multigraph<String, Double>();
+        CGT.buildGraph(pathFile, graph);
+
+        //Pick the same random pairs of points on every run
+        Set<String> points = new TreeSet<String>();
+        Map<String, List<Pair<String, Double>>> connections = new HashMap<String, List<Pair<String, Double>>>();
+        CampusParser.parsePathData(pathFile, points, connections);
+        List<String> pointList = new ArrayList<String>(points);
+        Random random = new Random(KeyStreams.SEED);
+        starts = new String[QUERIES];
+        dests = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            starts[i] = pointList.get(random.nextInt(pointList.size()));
+            dests[i] = pointList.get(random.nextInt(pointList.size()));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Multigraph<String, Double> buildGraph() {
+        Multigraph<String, Double> built = new Multigraph<String, Double>();
+        CGT.buildGraph(pathFile, built);
+        return built;
+    }
+
+    @Benchmark
+    public void getPath(Blackhole bh) {
+        int query = next;
+        next = (next + 1) % QUERIES;
+        Stack<Pair<String, String>> nodes = new Stack<Pair<String, String>>();
+        Stack<Pair<Double, String>> edges = new Stack<Pair<Double, String>>();
+        Double[] cost = new Double[1];
+        CGT.getPath(starts[query], dests[query], graph, nodes, edges, cost);
+        bh.consume(nodes);
+        bh.consume(edges);
+        bh.consume(cost);
+    }
+}
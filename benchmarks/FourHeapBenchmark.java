@@ -0,0 +1,90 @@
+package benchmarks;
+
+import phaseA.FourHeap;
+import providedCode.Comparator;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures FourHeap insert, deleteMin, and a full heap sort of random integers.
+ * deleteMin is measured on a full heap that gets a new value after every removal, so
+ * the heap keeps the same size without being refilled between calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class FourHeapBenchmark {
+
+    private static final Comparator<Integer> ASCENDING = new Comparator<Integer>() {
+        public int compare(Integer a, Integer b) {
+            return a.compareTo(b);
+        }
+    };
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Integer[] values;
+    private Integer[] refills;
+    private FourHeap<Integer> full;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(KeyStreams.SEED);
+        values = new Integer[size];
+        for (int i = 0; i < size; i++)
+            values[i] = random.nextInt();
+        refills = new Integer[size];
+        for (int i = 0; i < size; i++)
+            refills[i] = random.nextInt();
+
+        full = new FourHeap<Integer>(ASCENDING);
+        for (Integer value : values)
+            full.insert(value);
+    }
+
+    @Benchmark
+    public FourHeap<Integer> insert() {
+        FourHeap<Integer> heap = new FourHeap<Integer>(ASCENDING);
+        for (Integer value : values)
+            heap.insert(value);
+        return heap;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer deleteMinInsert() {
+        Integer min = full.deleteMin();
+        full.insert(refills[next]);
+        next = (next + 1) % size;
+        return min;
+    }
+
+    @Benchmark
+    public Integer[] heapSort() {
+        FourHeap<Integer> heap = new FourHeap<Integer>(ASCENDING);
+        for (Integer value : values)
+            heap.insert(value);
+        Integer[] sorted = new Integer[size];
+        for (int i = 0; i < size; i++)
+            sorted[i] = heap.deleteMin();
+        return sorted;
+    }
+}
@@ -0,0 +1,143 @@
+package benchmarks;
+
+import hw5.Multigraph;
+import hw8.CGT;
+import hw8.Pair;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Random;
+import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures CGT.buildGraph and CGT.getPath on square grids much larger than the campus.
+ * Every point is connected to its four neighbors in both directions with a random
+ * weight, and the grid is written in the same format as campus_paths.dat.
+ *
+ * The largest grid has about 10^7 edges and needs a heap of several gigabytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GridGraphBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int edges;
+
+    private File pathFile;
+    private Multigraph<String, Double> graph;
+    private int side;
+    private String[] starts;
+    private String[] dests;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        //A side x side grid has about 4 * side^2 directed edges
+        side = (int) Math.ceil(Math.sqrt(edges / 4.0)) + 1;
+        pathFile = File.createTempFile("grid_paths", ".dat");
+        writeGrid(pathFile, side);
+        graph = new Multigraph<String, Double>();
+        CGT.buildGraph(pathFile.getPath(), graph);
+
+        //Pick the same random pairs of points on every run
+        Random random = new Random(KeyStreams.SEED);
+        starts = new String[QUERIES];
+        dests = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            starts[i] = point(random.nextInt(side), random.nextInt(side));
+            dests[i] = point(random.nextInt(side), random.nextInt(side));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pathFile.delete();
+    }
+
+    @Benchmark
+    public Multigraph<String, Double> buildGraph() {
+        Multigraph<String, Double> built = new Multigraph<String, Double>();
+        CGT.buildGraph(pathFile.getPath(), built);
+        return built;
+    }
+
+    @Benchmark
+    public void getPathCornerToCorner(Blackhole bh) {
+        getPath(point(0, 0), point(side - 1, side - 1), bh);
+    }
+
+    @Benchmark
+    public void getPathRandom(Blackhole bh) {
+        int query = next;
+        next = (next + 1) % QUERIES;
+        getPath(starts[query], dests[query], bh);
+    }
+
+    private void getPath(String start, String dest, Blackhole bh) {
+        Stack<Pair<String, String>> nodes = new Stack<Pair<String, String>>();
+        Stack<Pair<Double, String>> edgeData = new Stack<Pair<Double, String>>();
+        Double[] cost = new Double[1];
+        CGT.getPath(start, dest, graph, nodes, edgeData, cost);
+        bh.consume(nodes);
+        bh.consume(edgeData);
+        bh.consume(cost);
+    }
+
+    //Writes a grid in the format of campus_paths.dat: a point on its own line, followed
+    //by one tab indented "point: weight" line for every path leaving it
+    private static void writeGrid(File file, int side) throws IOException {
+        Random random = new Random(KeyStreams.SEED);
+        BufferedWriter out = new BufferedWriter(new FileWriter(file));
+        try {
+            for (int x = 0; x < side; x++) {
+                for (int y = 0; y < side; y++) {
+                    out.write(point(x, y));
+                    out.newLine();
+                    if (x > 0)
+                        writeEdge(out, x - 1, y, random);
+                    if (x < side - 1)
+                        writeEdge(out, x + 1, y, random);
+                    if (y > 0)
+                        writeEdge(out, x, y - 1, random);
+                    if (y < side - 1)
+                        writeEdge(out, x, y + 1, random);
+                }
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    private static void writeEdge(BufferedWriter out, int x, int y, Random random) throws IOException {
+        out.write("\t" + point(x, y) + ": " + (10.0 + 10.0 * random.nextDouble()));
+        out.newLine();
+    }
+
+    //Points are named like the campus points so that CGT.getDirection can read them
+    private static String point(int x, int y) {
+        return (x * 10) + ".0," + (y * 10) + ".0";
+    }
+}
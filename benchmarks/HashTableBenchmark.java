@@ -0,0 +1,112 @@
+package benchmarks;
+
+import phaseB.ApproximateCounter;
+import phaseB.HashTable;
+import providedCode.Comparator;
+import providedCode.DataCount;
+import providedCode.Hasher;
+import providedCode.SimpleIterator;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures HashTable incCount, getCount, and iteration over a stream of word-like keys
+ * drawn from a uniform or a Zipfian distribution. The Zipfian stream behaves like the
+ * words of real text, where a few keys make up most of the stream. ApproximateCounter is
+ * measured on the same streams for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class HashTableBenchmark {
+
+    private static final int STREAM_LENGTH = 1000000;
+
+    static final Comparator<String> STRING_COMPARATOR = new Comparator<String>() {
+        public int compare(String a, String b) {
+            return a.compareTo(b);
+        }
+    };
+
+    //Similar keys get nearly consecutive String.hashCode values, which makes linear
+    //probing form long clusters, so the bits are mixed first. HashTable takes the hash
+    //modulo its capacity after adding the probe count, so the hash must leave room
+    //below Integer.MAX_VALUE.
+    static final Hasher<String> STRING_HASHER = new Hasher<String>() {
+        public int hash(String s) {
+            int hash = s.hashCode();
+            hash ^= hash >>> 16;
+            hash *= 0x85ebca6b;
+            hash ^= hash >>> 13;
+            hash *= 0xc2b2ae35;
+            hash ^= hash >>> 16;
+            return hash & 0x3fffffff;
+        }
+    };
+
+    @Param({"uniform", "zipfian"})
+    public String distribution;
+
+    @Param({"1000", "100000"})
+    public int distinct;
+
+    private String[] stream;
+    private HashTable<String> counted;
+
+    @Setup
+    public void setUp() {
+        stream = KeyStreams.of(distribution, distinct, STREAM_LENGTH);
+        counted = new HashTable<String>(STRING_COMPARATOR, STRING_HASHER);
+        for (String key : stream)
+            counted.incCount(key);
+    }
+
+    @Benchmark
+    public HashTable<String> incCount() {
+        HashTable<String> table = new HashTable<String>(STRING_COMPARATOR, STRING_HASHER);
+        for (String key : stream)
+            table.incCount(key);
+        return table;
+    }
+
+    @Benchmark
+    public ApproximateCounter<String> approximateIncCount() {
+        ApproximateCounter<String> counter = new ApproximateCounter<String>(STRING_COMPARATOR,
+                STRING_HASHER, 0.0001, 0.01, 1000);
+        for (String key : stream)
+            counter.incCount(key);
+        return counter;
+    }
+
+    @Benchmark
+    public long getCount() {
+        long total = 0;
+        for (String key : stream)
+            total += counted.getCount(key);
+        return total;
+    }
+
+    @Benchmark
+    public long iterate() {
+        long total = 0;
+        SimpleIterator<DataCount<String>> itr = counted.getIterator();
+        while (itr.hasNext())
+            total += itr.next().count;
+        return total;
+    }
+}
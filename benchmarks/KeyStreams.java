@@ -0,0 +1,67 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generates the streams of keys used by the benchmarks. Every stream is built from a
+ * fixed seed so that each run of a benchmark sees exactly the same input.
+ */
+public class KeyStreams {
+
+    public static final long SEED = 332L;
+
+    private KeyStreams() {
+    }
+
+    /**
+     * Returns length keys chosen from distinct keys, where every key is equally likely
+     */
+    public static String[] uniform(int distinct, int length) {
+        Random random = new Random(SEED);
+        String[] stream = new String[length];
+        for (int i = 0; i < length; i++)
+            stream[i] = key(random.nextInt(distinct));
+        return stream;
+    }
+
+    /**
+     * Returns length keys chosen from distinct keys, where the key of rank r is chosen
+     * with probability proportional to 1 / r^exponent. An exponent near 1 matches the
+     * word frequencies of English text.
+     */
+    public static String[] zipfian(int distinct, int length, double exponent) {
+        double[] cumulative = new double[distinct];
+        double total = 0.0;
+        for (int rank = 1; rank <= distinct; rank++) {
+            total += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = total;
+        }
+
+        Random random = new Random(SEED);
+        String[] stream = new String[length];
+        for (int i = 0; i < length; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            if (index < 0)
+                index = -index - 1;
+            stream[i] = key(Math.min(index, distinct - 1));
+        }
+        return stream;
+    }
+
+    /**
+     * Returns a stream of the given distribution, either "uniform" or "zipfian"
+     */
+    public static String[] of(String distribution, int distinct, int length) {
+        if (distribution.equals("uniform"))
+            return uniform(distinct, length);
+        if (distribution.equals("zipfian"))
+            return zipfian(distinct, length, 1.0);
+        throw new IllegalArgumentException("Unknown distribution: " + distribution);
+    }
+
+    //Makes word-like keys so that hashing and comparing cost the same as on real text
+    private static String key(int id) {
+        return "w" + Integer.toString(id, 36);
+    }
+}
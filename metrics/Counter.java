@@ -0,0 +1,44 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A running total that can be updated by many threads at once without contention.
+ * Callers should check Metrics.ENABLED before updating a counter so that the update
+ * is removed entirely when metrics are turned off.
+ */
+public class Counter {
+
+    private final LongAdder total = new LongAdder();
+
+    Counter() {
+    }
+
+    /**
+     * Adds one to the counter
+     */
+    public void increment() {
+        total.increment();
+    }
+
+    /**
+     * Adds the given amount to the counter
+     */
+    public void add(long amount) {
+        total.add(amount);
+    }
+
+    /**
+     * Returns the current total
+     */
+    public long get() {
+        return total.sum();
+    }
+
+    /**
+     * Sets the counter back to zero
+     */
+    public void reset() {
+        total.reset();
+    }
+}
@@ -0,0 +1,113 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size histogram of non-negative values, such as latencies in nanoseconds or
+ * probe lengths. Values below 32 are counted exactly. Larger values are grouped into 16
+ * buckets per power of two, so any reported value is within about 6% of the real one,
+ * no matter how large the values get. Recording a value never allocates.
+ */
+public class Histogram {
+
+    //Values below LINEAR_LIMIT each get their own bucket
+    private static final int LINEAR_BITS = 5;
+    private static final int LINEAR_LIMIT = 1 << LINEAR_BITS;
+    //Every power of two above LINEAR_LIMIT is split into this many buckets
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - LINEAR_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram() {
+    }
+
+    /**
+     * Records a single value. Negative values are recorded as 0.
+     */
+    public void record(long value) {
+        if (value < 0)
+            value = 0;
+        buckets.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value))
+            currentMax = max.get();
+    }
+
+    /**
+     * Returns the number of values recorded
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the largest value recorded, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the average of the values recorded, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long n = count.get();
+        return n == 0 ? 0.0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Returns a value that the given fraction of all recorded values are less than or
+     * equal to, e.g. 0.99 for the 99th percentile. Returns 0 if nothing was recorded.
+     */
+    public long getPercentile(double fraction) {
+        long n = count.get();
+        if (n == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(fraction * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank)
+                return Math.min(highestValueIn(i), max.get());
+        }
+        return max.get();
+    }
+
+    /**
+     * Forgets every value recorded so far
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets.set(i, 0);
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    //Finds the bucket that a value is counted in
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT)
+            return (int) value;
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (magnitude - SUB_BITS)) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (magnitude - LINEAR_BITS) * SUB_BUCKETS + sub;
+    }
+
+    //Finds the largest value that is counted in a bucket
+    private static long highestValueIn(int index) {
+        if (index < LINEAR_LIMIT)
+            return index;
+        int magnitude = (index - LINEAR_LIMIT) / SUB_BUCKETS + LINEAR_BITS;
+        int sub = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        long width = 1L << (magnitude - SUB_BITS);
+        return ((long) (SUB_BUCKETS + sub) << (magnitude - SUB_BITS)) + width - 1;
+    }
+}
@@ -0,0 +1,166 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * The registry of every counter and histogram used to measure how much work the data
+ * structures and the path finding do.
+ *
+ * Metrics are turned on by starting the JVM with -Dmetrics.enabled=true. Code that
+ * records a metric must check ENABLED first. Since ENABLED is a constant, the JIT
+ * compiler removes the check and the recording entirely when metrics are off, so the
+ * cost of having them is close to zero.
+ *
+ * When metrics are on, they can be read through JMX or pushed to a MetricsSink.
+ */
+public final class Metrics {
+
+    /**
+     * True if metrics should be recorded
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("metrics.enabled");
+
+    private static final Map<String, Counter> counters = new TreeMap<String, Counter>();
+    private static final Map<String, Histogram> histograms = new TreeMap<String, Histogram>();
+    private static volatile MetricsSink sink;
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(
+                        new StandardMBean(new View(), MetricsMBean.class),
+                        new ObjectName("metrics:type=Metrics"));
+            } catch (JMException e) {
+                System.err.println("Unable to register metrics with JMX: " + e);
+            }
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns the counter with the given name, creating it if needed. Callers should
+     * keep the returned counter in a static final field.
+     */
+    public static synchronized Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            counter = new Counter();
+            counters.put(name, counter);
+        }
+        return counter;
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it if needed. Callers should
+     * keep the returned histogram in a static final field.
+     */
+    public static synchronized Histogram histogram(String name) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = new Histogram();
+            histograms.put(name, histogram);
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns the current time in nanoseconds if metrics are on, and 0 otherwise
+     */
+    public static long startTimer() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since startTimer() returned the given value
+     */
+    public static void stopTimer(Histogram histogram, long start) {
+        if (ENABLED)
+            histogram.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Sets the sink that publish() reports to. A null sink turns publishing off.
+     */
+    public static void setSink(MetricsSink newSink) {
+        sink = newSink;
+    }
+
+    /**
+     * Reports the value of every counter and histogram to the current sink, if any
+     */
+    public static void publish() {
+        MetricsSink current = sink;
+        if (current != null)
+            publishTo(current);
+    }
+
+    /**
+     * Reports the value of every counter and histogram to the given sink
+     */
+    public static synchronized void publishTo(MetricsSink target) {
+        for (Map.Entry<String, Counter> entry : counters.entrySet())
+            target.report(entry.getKey(), entry.getValue().get());
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            String name = entry.getKey();
+            Histogram histogram = entry.getValue();
+            target.report(name + ".count", histogram.getCount());
+            target.report(name + ".mean", histogram.getMean());
+            target.report(name + ".p50", histogram.getPercentile(0.50));
+            target.report(name + ".p99", histogram.getPercentile(0.99));
+            target.report(name + ".max", histogram.getMax());
+        }
+    }
+
+    /**
+     * Sets every counter and histogram back to zero
+     */
+    public static synchronized void reset() {
+        for (Counter counter : counters.values())
+            counter.reset();
+        for (Histogram histogram : histograms.values())
+            histogram.reset();
+    }
+
+    //The object registered with JMX
+    private static class View implements MetricsMBean {
+
+        public boolean isEnabled() {
+            return ENABLED;
+        }
+
+        public String[] getValues() {
+            final List<String> values = new ArrayList<String>();
+            publishTo(new MetricsSink() {
+                public void report(String name, double value) {
+                    values.add(name + " = " + value);
+                }
+            });
+            return values.toArray(new String[values.size()]);
+        }
+
+        public double getValue(final String name) {
+            final double[] found = new double[]{Double.NaN};
+            publishTo(new MetricsSink() {
+                public void report(String reported, double value) {
+                    if (reported.equals(name))
+                        found[0] = value;
+                }
+            });
+            return found[0];
+        }
+
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
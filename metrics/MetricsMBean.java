@@ -0,0 +1,29 @@
+package metrics;
+
+/**
+ * The view of the metrics that is exposed through JMX, under the name
+ * "metrics:type=Metrics".
+ */
+public interface MetricsMBean {
+
+    /**
+     * Returns true if metrics are being recorded
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns every counter and histogram summary, one "name = value" pair per line
+     */
+    String[] getValues();
+
+    /**
+     * Returns the value of one counter, or of one histogram summary such as
+     * "cgt.query.nanos.p99". Returns NaN for an unknown name.
+     */
+    double getValue(String name);
+
+    /**
+     * Sets every counter and histogram back to zero
+     */
+    void reset();
+}
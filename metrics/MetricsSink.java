@@ -0,0 +1,14 @@
+package metrics;
+
+/**
+ * Receives the values of every counter and histogram whenever Metrics.publish() is
+ * called. Histograms are reported as several values, named after the histogram with
+ * ".count", ".mean", ".p50", ".p99", and ".max" appended.
+ */
+public interface MetricsSink {
+
+    /**
+     * Receives a single named value
+     */
+    void report(String name, double value);
+}